@@ -11,7 +11,10 @@ package mr.demonid;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.apache.logging.log4j.LogManager;
@@ -22,7 +25,7 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
@@ -40,6 +43,24 @@ public class CrptApi {
     private static final String BASE_URL = "https://ismp.crpt.ru/api";
     private static final String API_VERSION = "/v3";
     private static final String CREATE_FUNCTION = "/lk/documents/create";
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(10);
+
+    /*
+     * Общая инфраструктура сериализации.
+     * ObjectMapper после настройки, а также полученные из него ObjectWriter/ObjectReader
+     * потокобезопасны, поэтому создаются один раз на всё приложение и разделяются всеми
+     * экземплярами CrptApi. Кэш сериализаторов Jackson при этом тоже общий, так что
+     * интроспекция DTO выполняется только один раз.
+     * Поскольку EAGER_SERIALIZER_FETCH/EAGER_DESERIALIZER_FETCH включены по умолчанию,
+     * writerFor()/readerFor() строят корневые (де)сериализаторы сразу, то есть основная
+     * интроспекция DTO происходит ещё при инициализации класса CrptApi.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private static final ObjectWriter DOCUMENT_WRITER = OBJECT_MAPPER.writerFor(Document.class);
+    private static final ObjectWriter REQUEST_WRITER = OBJECT_MAPPER.writerFor(CreateDocumentRequest.class);
+    private static final ObjectReader RESPONSE_READER = OBJECT_MAPPER.readerFor(JsonNode.class);
 
     /**
      * Форматы документов.
@@ -89,7 +110,6 @@ public class CrptApi {
     }
 
 
-    private final ObjectMapper objectMapper;
     private final RateLimiter rateLimiter;
     private final HttpClient httpClient;
 
@@ -104,22 +124,67 @@ public class CrptApi {
      */
     public CrptApi(TimeUnit timeUnit, int interval, int requestLimit) {
         this.rateLimiter = new RateLimiter(requestLimit, interval, timeUnit);
-        this.objectMapper = new ObjectMapper()
-                .registerModule(new JavaTimeModule())
-                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        httpClient = HttpClient.newHttpClient();
+        this.httpClient = HttpClientHolder.INSTANCE;
     }
 
     // тестовый конструктор
     protected CrptApi(TimeUnit timeUnit, int interval, int requestLimit, HttpClient httpClient) {
         this.rateLimiter = new RateLimiter(requestLimit, interval, timeUnit);
-        this.objectMapper = new ObjectMapper()
-                .registerModule(new JavaTimeModule())
-                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         this.httpClient = httpClient;
     }
 
 
+    /**
+     * Предварительный "прогрев" клиента, чтобы первый вызов createDocument() не тратил
+     * время на "холодные" участки кода и установку соединения.
+     * Корневые сериализаторы DTO уже построены при инициализации класса (см. DOCUMENT_WRITER
+     * и др.), поэтому сериализация тестовых DTO здесь в основном прогревает пути LocalDate,
+     * Base64 и разбора ответа. Дополнительно выполняется
+     * HEAD-запрос к серверу API, чтобы HttpClient мог заранее установить TLS-соединение
+     * и переиспользовать его (выигрыш от этого зависит от сервера и сети и не замерялся).
+     * Запрос не является вызовом метода API, поэтому в лимит запросов не засчитывается.
+     * Ошибки соединения не считаются критичными и только логируются.
+     *
+     * @throws IllegalStateException Если не удалось сериализовать тестовые DTO.
+     */
+    public void warmUp() throws IllegalStateException {
+        // Прогрев сериализаторов и десериализатора ответа
+        try {
+            Document doc = new Document();
+            doc.description = new Document.Description();
+            doc.doc_id = UUID.randomUUID();
+            doc.doc_type = "LP_INTRODUCE_GOODS";
+            doc.production_date = LocalDate.now();
+            doc.reg_date = LocalDate.now();
+            Document.Product product = new Document.Product();
+            product.certificate_document_date = LocalDate.now();
+            doc.products = new Document.Product[]{product};
+
+            CreateDocumentRequest request = buildCreateDocumentRequest(doc, ProductGroup.MILK, DocumentFormat.MANUAL, "warm-up");
+            REQUEST_WRITER.writeValueAsString(request);
+            RESPONSE_READER.readTree("{\"value\":\"" + doc.doc_id + "\"}");
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to warm up serializers", e);
+        }
+
+        // Открываем соединение с сервером
+        HttpRequest httpRequest = HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL))
+                .timeout(WARM_UP_TIMEOUT)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+            log.info("Connection to '{}' warmed up", BASE_URL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Connection warm-up interrupted");
+        } catch (IOException e) {
+            log.warn("Connection warm-up failed: {}", e.getMessage());
+        }
+    }
+
+
     /**
      * Создает документ в ИС МП и возвращает уникальный идентификатор документа в ИС МП.
      *
@@ -143,7 +208,7 @@ public class CrptApi {
         CreateDocumentRequest request = buildCreateDocumentRequest(doc, productGroup, documentFormat, signature);
 
         // Сериализация DTO в JSON
-        String requestBody = objectMapper.writeValueAsString(request);
+        String requestBody = REQUEST_WRITER.writeValueAsString(request);
 
         // Формирование HTTP-запроса
         HttpRequest httpRequest = HttpRequest.newBuilder()
@@ -158,7 +223,7 @@ public class CrptApi {
 
         checkStatus(response);
         // Извлекаем UUID документа
-        UUID res = UUID.fromString(objectMapper.readTree(response.body()).get("value").asText());
+        UUID res = UUID.fromString(RESPONSE_READER.readTree(response.body()).get("value").asText());
         log.info("Created '{}' document", res);
         return res;
     }
@@ -199,9 +264,9 @@ public class CrptApi {
      */
     private CreateDocumentRequest buildCreateDocumentRequest(Document doc, ProductGroup productGroup, DocumentFormat documentFormat, String signature) throws IllegalArgumentException {
         try {
-            // Сериализуем Document в JSON и кодируем в Base64
-            String docJson = objectMapper.writeValueAsString(doc);
-            String base64Doc = Base64.getEncoder().encodeToString(docJson.getBytes(StandardCharsets.UTF_8));
+            // Сериализуем Document сразу в байты JSON (UTF-8) и кодируем в Base64
+            byte[] docJson = DOCUMENT_WRITER.writeValueAsBytes(doc);
+            String base64Doc = Base64.getEncoder().encodeToString(docJson);
             return new CreateDocumentRequest(
                     documentFormat.getValue(),
                     base64Doc,
@@ -284,6 +349,15 @@ public class CrptApi {
     }
 
 
+    /**
+     * Общий для всех экземпляров HttpClient (потокобезопасен и держит пул соединений).
+     * Создаётся лениво, при первом обращении, поэтому тестовый конструктор его не трогает.
+     */
+    private static class HttpClientHolder {
+        static final HttpClient INSTANCE = HttpClient.newHttpClient();
+    }
+
+
     /**
      * Потокобезопасный rate limiter на основе очереди временных меток.
      */
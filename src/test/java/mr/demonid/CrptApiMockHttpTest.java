@@ -5,10 +5,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -90,4 +92,68 @@ public class CrptApiMockHttpTest {
         );
         assertTrue(e.getMessage().contains("HTTP error: 500"));
     }
+
+
+    @DisplayName("Прогрев открывает соединение с сервером")
+    @Test
+    void testWarmUpOpensConnection() throws Exception {
+
+        HttpClient mockClient = mock(HttpClient.class);
+
+        CrptApi api = new CrptApi(TimeUnit.SECONDS, 1, 5, mockClient);
+        api.warmUp();
+
+        ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(mockClient).send(requestCaptor.capture(), ArgumentMatchers.<HttpResponse.BodyHandler<Void>>any());
+
+        HttpRequest sentRequest = requestCaptor.getValue();
+        assertEquals("HEAD", sentRequest.method());
+        assertEquals(URI.create("https://ismp.crpt.ru/api"), sentRequest.uri());
+    }
+
+
+    @DisplayName("Ошибка соединения при прогреве не критична")
+    @Test
+    void testWarmUpIgnoresConnectionError() throws Exception {
+
+        HttpClient mockClient = mock(HttpClient.class);
+        when(mockClient.send(any(HttpRequest.class), ArgumentMatchers.<HttpResponse.BodyHandler<Void>>any())).thenThrow(new IOException("Connection refused"));
+
+        CrptApi api = new CrptApi(TimeUnit.SECONDS, 1, 5, mockClient);
+
+        assertDoesNotThrow(api::warmUp);
+    }
+
+
+    @DisplayName("Прогрев не расходует лимит запросов")
+    @Test
+    void testWarmUpDoesNotConsumeRateLimit() throws Exception {
+
+        HttpClient mockClient = mock(HttpClient.class);
+        @SuppressWarnings("unchecked")
+        HttpResponse<String> mockResponse = mock(HttpResponse.class);
+
+        UUID fakeUuid = UUID.randomUUID();
+
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn("{\"value\":\"" + fakeUuid + "\"}");
+        when(mockClient.send(any(HttpRequest.class), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any())).thenReturn(mockResponse);
+
+        // Один запрос за 10 секунд: если warmUp() займёт слот, createDocument() заблокируется.
+        CrptApi api = new CrptApi(TimeUnit.SECONDS, 10, 1, mockClient);
+        api.warmUp();
+
+        CrptApi.Document doc = new CrptApi.Document();
+        doc.doc_type = "LP_INTRODUCE_GOODS";
+
+        UUID result = assertTimeoutPreemptively(Duration.ofSeconds(2), () -> api.createDocument(
+                doc,
+                CrptApi.ProductGroup.SHOES,
+                CrptApi.DocumentFormat.MANUAL,
+                "sig",
+                "token"
+                )
+        );
+        assertEquals(fakeUuid, result);
+    }
 }
@@ -0,0 +1,160 @@
+package mr.demonid;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+/**
+ * Замер времени до создания первого документа (time-to-first-document).
+ * Не входит в обычный прогон тестов, запускается профилем: mvn test -Pbenchmark
+ * <p>
+ * Каждый сценарий ("cold" - без warmUp(), "warm-up" - с warmUp()) запускается в отдельной,
+ * только что стартовавшей JVM, поэтому результат не зависит от порядка тестов.
+ * Сеть подменена моком HttpClient, поэтому создание настоящего HttpClient и установка
+ * TCP/TLS-соединения НЕ измеряются. Логгер mr.demonid отключается до начала замера.
+ */
+@Tag("benchmark")
+public class CrptApiStartupBenchmarkTest {
+
+    static final int NUM_DOCUMENTS = 100;
+    static final long PROCESS_TIMEOUT_SECONDS = 60;
+    static final String RESULT_PREFIX = "RESULT ";
+    static final String[] METRICS = {"constructor", "warmUp", "firstDocument", "timeToFirstDocument", "steadyState"};
+
+
+    @DisplayName("После warmUp() первый документ создаётся быстрее")
+    @Test
+    void testWarmUpReducesFirstDocumentLatency() throws Exception {
+        Map<String, Long> cold = runScenario("cold");
+        Map<String, Long> warm = runScenario("warm-up");
+
+        System.out.printf("%-28s %10s %10s%n", "Metric, us", "cold", "warm-up");
+        for (String metric : METRICS) {
+            System.out.printf("%-28s %10d %10d%n", metric, cold.get(metric), warm.get(metric));
+        }
+        // После прогрева первый документ должен создаваться хотя бы вдвое быстрее.
+        assertTrue(warm.get("firstDocument") * 2 < cold.get("firstDocument"),
+                "warmUp() не ускорил создание первого документа");
+    }
+
+
+    /**
+     * Запускает сценарий в новой JVM и возвращает замеры в микросекундах.
+     * Вывод дочерней JVM пишется во временный файл и читается после её завершения,
+     * поэтому зависший процесс прерывается по таймауту.
+     */
+    private Map<String, Long> runScenario(String mode) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classpath = System.getProperty("java.class.path");
+        Path output = Files.createTempFile("crpt-startup-" + mode, ".log");
+        Process process = new ProcessBuilder(java, "-cp", classpath, CrptApiStartupBenchmarkTest.class.getName(), mode)
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        try {
+            if (!process.waitFor(PROCESS_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                fail("Сценарий '" + mode + "' не завершился вовремя");
+            }
+            assertEquals(0, process.exitValue(), "Сценарий '" + mode + "' завершился с ошибкой");
+
+            Map<String, Long> result = new HashMap<>();
+            for (String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    for (String pair : line.substring(RESULT_PREFIX.length()).split(" ")) {
+                        String[] kv = pair.split("=");
+                        result.put(kv[0], Long.parseLong(kv[1]));
+                    }
+                }
+            }
+            for (String metric : METRICS) {
+                assertTrue(result.containsKey(metric), "Нет замера '" + metric + "' в сценарии '" + mode + "'");
+            }
+            return result;
+
+        } finally {
+            process.destroyForcibly();
+            Files.deleteIfExists(output);
+        }
+    }
+
+
+    /**
+     * Точка входа дочерней JVM.
+     *
+     * @param args режим: "cold" или "warm-up".
+     */
+    public static void main(String[] args) throws Exception {
+        boolean warmUp = "warm-up".equals(args[0]);
+
+        // Отключаем логирование и создаём мок до начала замера.
+        Configurator.setLevel("mr.demonid", Level.OFF);
+        HttpClient client = mockClient();
+
+        long start = System.nanoTime();
+        CrptApi api = new CrptApi(TimeUnit.SECONDS, 1, NUM_DOCUMENTS * 2, client);
+        long created = System.nanoTime();
+        if (warmUp) {
+            api.warmUp();
+        }
+        long warmed = System.nanoTime();
+        Objects.requireNonNull(createDocument(api));
+        long first = System.nanoTime();
+
+        for (int i = 0; i < NUM_DOCUMENTS; i++) {
+            Objects.requireNonNull(createDocument(api));
+        }
+        long steady = (System.nanoTime() - first) / NUM_DOCUMENTS;
+
+        System.out.println(RESULT_PREFIX
+                + "constructor=" + (created - start) / 1000
+                + " warmUp=" + (warmed - created) / 1000
+                + " firstDocument=" + (first - warmed) / 1000
+                + " timeToFirstDocument=" + (first - start) / 1000
+                + " steadyState=" + steady / 1000);
+        System.exit(0);
+    }
+
+    private static HttpClient mockClient() throws Exception {
+        HttpClient mockClient = mock(HttpClient.class);
+        @SuppressWarnings("unchecked")
+        HttpResponse<String> mockResponse = mock(HttpResponse.class);
+
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn("{\"value\":\"" + UUID.randomUUID() + "\"}");
+        when(mockClient.send(any(HttpRequest.class), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any())).thenReturn(mockResponse);
+        return mockClient;
+    }
+
+    private static UUID createDocument(CrptApi api) throws Exception {
+        CrptApi.Document doc = new CrptApi.Document();
+        doc.doc_type = "LP_INTRODUCE_GOODS";
+        doc.doc_id = UUID.randomUUID();
+        doc.production_date = LocalDate.now();
+        CrptApi.Document.Product product = new CrptApi.Document.Product();
+        product.certificate_document_date = LocalDate.now();
+        doc.products = new CrptApi.Document.Product[]{product};
+
+        return api.createDocument(doc, CrptApi.ProductGroup.MILK, CrptApi.DocumentFormat.MANUAL, "sig", "token");
+    }
+}